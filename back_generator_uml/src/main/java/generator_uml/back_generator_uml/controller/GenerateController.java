@@ -1,10 +1,13 @@
 package generator_uml.back_generator_uml.controller;
 
 import generator_uml.back_generator_uml.entity.UmlSchema;
+import generator_uml.back_generator_uml.service.ArchiveFormat;
+import generator_uml.back_generator_uml.service.ArchiveWriter;
 import generator_uml.back_generator_uml.service.ProjectGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -16,17 +19,30 @@ public class GenerateController {
 
     private final ProjectGenerator projectGenerator;
 
-    @PostMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PostMapping(produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "application/zip", "application/gzip", "application/zstd"})
     public ResponseEntity<byte[]> generate(@RequestBody UmlSchema schema,
                                            @RequestParam(defaultValue = "com.example.genapp") String basePackage,
-                                           @RequestParam(defaultValue = "generated-app") String artifactId) throws Exception {
-        Path zipPath = projectGenerator.generate(schema, basePackage, artifactId);
-        byte[] bytes = Files.readAllBytes(zipPath);
+                                           @RequestParam(defaultValue = "generated-app") String artifactId,
+                                           @RequestParam(required = false) String format,
+                                           @RequestParam(required = false) Integer compression,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws Exception {
+        // ?format= manda sobre Accept; sin ninguno de los dos se mantiene zip
+        ArchiveFormat archiveFormat = format != null
+                ? ArchiveFormat.fromName(format).orElseThrow(() ->
+                        new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato no soportado: " + format))
+                : ArchiveFormat.fromAccept(accept);
+        if (compression != null && !ArchiveWriter.isValidLevel(compression)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "compression debe estar entre -1 y 9");
+        }
+
+        Path archivePath = projectGenerator.generate(schema, basePackage, artifactId, archiveFormat, compression);
+        byte[] bytes = Files.readAllBytes(archivePath);
 
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + artifactId + ".zip")
+                .contentType(archiveFormat.contentTypeFor(accept))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + artifactId + "." + archiveFormat.getExtension())
                 .body(bytes);
     }
 
 }
-
@@ -0,0 +1,72 @@
+package generator_uml.back_generator_uml.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public enum ArchiveFormat {
+    ZIP("zip", "application/zip", List.of("zip")),
+    TAR_GZ("tar.gz", "application/gzip", List.of("tar.gz", "tgz")),
+    TAR_ZST("tar.zst", "application/zstd", List.of("tar.zst", "tzst"));
+
+    private final String extension;
+    private final MediaType mediaType;
+    private final List<String> aliases;
+
+    ArchiveFormat(String extension, String mediaType, List<String> aliases) {
+        this.extension = extension;
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.aliases = aliases;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static Optional<ArchiveFormat> fromName(String name) {
+        String n = name.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values()).filter(f -> f.aliases.contains(n)).findFirst();
+    }
+
+    /**
+     * Formato preferido según el header Accept (respetando q). Comodines y tipos
+     * desconocidos no cuentan, así que los clientes actuales siguen recibiendo zip.
+     */
+    public static ArchiveFormat fromAccept(String accept) {
+        for (MediaType requested : acceptedTypes(accept)) {
+            for (ArchiveFormat f : values()) {
+                if (f.mediaType.isCompatibleWith(requested)) return f;
+            }
+        }
+        return ZIP;
+    }
+
+    /**
+     * Content-Type de la respuesta: el propio del formato, salvo que el cliente
+     * prefiera explícitamente application/octet-stream (como respondía antes /generate).
+     */
+    public MediaType contentTypeFor(String accept) {
+        for (MediaType requested : acceptedTypes(accept)) {
+            if (mediaType.isCompatibleWith(requested)) return mediaType;
+            if (MediaType.APPLICATION_OCTET_STREAM.isCompatibleWith(requested)) return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        return mediaType;
+    }
+
+    private static List<MediaType> acceptedTypes(String accept) {
+        if (accept == null || accept.isBlank()) return List.of();
+        List<MediaType> types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        types.removeIf(t -> t.isWildcardType() || t.isWildcardSubtype() || t.getQualityValue() == 0);
+        MimeTypeUtils.sortBySpecificity(types);
+        return types;
+    }
+}
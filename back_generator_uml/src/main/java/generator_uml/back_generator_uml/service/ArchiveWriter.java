@@ -0,0 +1,314 @@
+package generator_uml.back_generator_uml.service;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Empaqueta el proyecto generado.
+ * <p>
+ * La salida es determinista: entradas ordenadas por ruta, fecha fija (1980-01-01)
+ * y sin uid/usuario, así que el mismo proyecto produce siempre los mismos bytes.
+ * <p>
+ * Los proyectos pequeños (la gran mayoría) se comprimen en el hilo de la petición.
+ * A partir de {@code generator.archive.parallel-threshold} bytes, zip reparte las entradas
+ * con {@link ParallelScatterZipCreator} sobre un pool compartido de
+ * {@code generator.archive.threads} hilos, y tar.zst activa los workers de zstd.
+ * tar.gz siempre es de un solo hilo.
+ */
+@Service
+public class ArchiveWriter {
+
+    public static final int STORED = 0;
+
+    // las fechas DOS de zip son hora local: se fija 1980-01-01 local para que los bytes no dependan de la zona
+    private static final long ZIP_TIME_MILLIS =
+            LocalDateTime.of(1980, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    // en tar el mtime es UTC: 1980-01-01T00:00:00Z
+    private static final long TAR_TIME_MILLIS = 315532800000L;
+    private static final int ZSTD_DEFAULT_LEVEL = 3;
+
+    private final int defaultLevel;
+    private final int threads;
+    private final long parallelThreshold;
+    private final ExecutorService executor;
+
+    public ArchiveWriter(@Value("${generator.archive.compression-level:-1}") int defaultLevel,
+                         @Value("${generator.archive.threads:0}") int threads,
+                         @Value("${generator.archive.parallel-threshold:1048576}") long parallelThreshold) {
+        checkLevel(defaultLevel);
+        this.defaultLevel = defaultLevel;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.parallelThreshold = parallelThreshold;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.threads, r -> {
+            Thread t = new Thread(r, "archive-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static boolean isValidLevel(int level) {
+        return level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION;
+    }
+
+    /**
+     * @param level -1 (por defecto del compresor), 0 (STORED, sin compresión) a 9; null usa
+     *              {@code generator.archive.compression-level}
+     */
+    public Path write(Path root, Path target, ArchiveFormat format, Integer level) throws IOException {
+        int lvl = level != null ? level : defaultLevel;
+        checkLevel(lvl);
+        List<Path> entries = listEntries(root);
+        boolean parallel = threads > 1 && totalSize(entries) >= parallelThreshold;
+        try {
+            switch (format) {
+                case ZIP -> {
+                    if (parallel) writeZipParallel(root, entries, target, lvl);
+                    else writeZip(root, entries, target, lvl);
+                }
+                case TAR_GZ, TAR_ZST -> writeTar(root, entries, target, format, lvl, parallel);
+            }
+        } catch (IOException | RuntimeException e) {
+            // no dejar un archivo a medio escribir
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return target;
+    }
+
+    private static void checkLevel(int level) {
+        if (!isValidLevel(level)) {
+            throw new IllegalArgumentException("Nivel de compresión inválido: " + level);
+        }
+    }
+
+    private static List<Path> listEntries(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(p -> !p.equals(root))
+                    .sorted((a, b) -> entryName(root, a).compareTo(entryName(root, b)))
+                    .toList();
+        }
+    }
+
+    private static long totalSize(List<Path> entries) throws IOException {
+        long total = 0;
+        for (Path p : entries) {
+            if (!Files.isDirectory(p)) total += Files.size(p);
+        }
+        return total;
+    }
+
+    private static String entryName(Path root, Path p) {
+        String name = root.relativize(p).toString().replace(File.separatorChar, '/');
+        return Files.isDirectory(p) ? name + "/" : name;
+    }
+
+    // ====== ZIP ======
+
+    private static ZipArchiveEntry zipEntry(Path root, Path p, int level) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(entryName(root, p));
+        entry.setTime(ZIP_TIME_MILLIS);
+        boolean dir = Files.isDirectory(p);
+        entry.setMethod(dir || level == STORED ? ZipEntry.STORED : ZipEntry.DEFLATED);
+        // con tamaño conocido no se agrega el extra ZIP64, igual que en la versión paralela
+        entry.setSize(dir ? 0 : Files.size(p));
+        return entry;
+    }
+
+    private static void writeZip(Path root, List<Path> entries, Path target, int level) throws IOException {
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(target)) {
+            zip.setLevel(level);
+            for (Path p : entries) {
+                zip.putArchiveEntry(zipEntry(root, p, level));
+                if (!Files.isDirectory(p)) {
+                    Files.copy(p, zip);
+                }
+                zip.closeArchiveEntry();
+            }
+        }
+    }
+
+    private void writeZipParallel(Path root, List<Path> entries, Path target, int level) throws IOException {
+        ScopedExecutor scope = new ScopedExecutor(executor);
+        try {
+            ParallelScatterZipCreator creator = new ParallelScatterZipCreator(scope, MemoryBackingStore::new, level);
+            for (Path p : entries) {
+                boolean dir = Files.isDirectory(p);
+                // el orden de escritura es el de alta, no el de fin de compresión
+                creator.addArchiveEntry(zipEntry(root, p, level), () -> dir ? InputStream.nullInputStream() : open(p));
+            }
+            try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(target)) {
+                creator.writeTo(zip);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Empaquetado interrumpido");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) throw unchecked.getCause();
+            if (cause instanceof IOException io) throw io;
+            throw new IOException(cause);
+        } finally {
+            // si algo falló, corta las compresiones de esta petición que sigan en curso
+            scope.shutdownNow();
+        }
+    }
+
+    private static InputStream open(Path p) {
+        try {
+            return Files.newInputStream(p);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ====== TAR.GZ / TAR.ZST ======
+
+    private void writeTar(Path root, List<Path> entries, Path target, ArchiveFormat format, int level,
+                          boolean parallel) throws IOException {
+        OutputStream file = new BufferedOutputStream(Files.newOutputStream(target));
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(compressor(file, format, level, parallel))) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (Path p : entries) {
+                TarArchiveEntry entry = new TarArchiveEntry(entryName(root, p));
+                entry.setModTime(TAR_TIME_MILLIS);
+                entry.setIds(0, 0);
+                entry.setNames("", "");
+                if (!Files.isDirectory(p)) {
+                    entry.setSize(Files.size(p));
+                }
+                tar.putArchiveEntry(entry);
+                if (!Files.isDirectory(p)) {
+                    Files.copy(p, tar);
+                }
+                tar.closeArchiveEntry();
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    private OutputStream compressor(OutputStream out, ArchiveFormat format, int level, boolean parallel) throws IOException {
+        if (format == ArchiveFormat.TAR_ZST) {
+            // zstd no tiene modo STORED; 0 y -1 usan su nivel por defecto
+            ZstdOutputStream zstd = new ZstdOutputStream(out, level > 0 ? level : ZSTD_DEFAULT_LEVEL);
+            // los workers arrancan hilos nativos por stream: solo compensan en proyectos grandes.
+            // Con workers >= 1 la salida es la misma sin importar cuántos haya.
+            return parallel ? zstd.setWorkers(threads) : zstd;
+        }
+        GzipParameters params = new GzipParameters();
+        params.setCompressionLevel(level);
+        params.setModificationTime(0);
+        return new GzipCompressorOutputStream(out, params);
+    }
+
+    // ====== utilidades ======
+
+    /**
+     * Vista de un solo archivo sobre el pool compartido: ParallelScatterZipCreator apaga su
+     * executor al terminar, así que aquí shutdown() no toca el pool y shutdownNow() solo
+     * cancela las tareas de esta petición.
+     */
+    private static final class ScopedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final List<Future<?>> tasks = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean shutdown;
+
+        ScopedExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (command instanceof Future<?> f) tasks.add(f);
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            synchronized (tasks) {
+                tasks.forEach(f -> f.cancel(true));
+            }
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            synchronized (tasks) {
+                return shutdown && tasks.stream().allMatch(Future::isDone);
+            }
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            // writeTo solo llega aquí después de esperar todos los futures
+            return isTerminated();
+        }
+    }
+
+    /** Backing store en memoria: evita un archivo temporal por hilo y la copia extra a disco. */
+    private static final class MemoryBackingStore implements ScatterGatherBackingStore {
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        @Override
+        public void writeOut(byte[] data, int offset, int length) {
+            buffer.write(data, offset, length);
+        }
+
+        @Override
+        public void closeForWriting() {
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(buffer.toByteArray());
+        }
+
+        @Override
+        public void close() {
+            // el ThreadLocal de ParallelScatterZipCreator puede retener este objeto en el hilo del pool
+            buffer = new ByteArrayOutputStream(0);
+        }
+    }
+}
@@ -6,7 +6,6 @@ import generator_uml.back_generator_uml.entity.UmlClass;
 import generator_uml.back_generator_uml.entity.UmlSchema;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.zeroturnaround.zip.ZipUtil;
 
 import java.io.*;
 import java.nio.file.*;
@@ -18,8 +17,10 @@ import java.util.stream.Collectors;
 public class ProjectGenerator {
 
     private final MustacheFactory mustacheFactory;
+    private final ArchiveWriter archiveWriter;
 
-    public Path generate(UmlSchema schema, String basePackage, String artifactId) throws Exception {
+    public Path generate(UmlSchema schema, String basePackage, String artifactId,
+                         ArchiveFormat format, Integer compressionLevel) throws Exception {
         Path root = Files.createTempDirectory("gen-" + artifactId);
         Path srcMain = root.resolve("src/main/java/" + basePackage.replace(".", "/"));
         Path srcRes = root.resolve("src/main/resources");
@@ -363,9 +364,8 @@ public class ProjectGenerator {
             render("Controller.mustache", entityCtx, ctrlDir.resolve(entityName + "Controller.java"));
         }
 
-        Path zip = root.getParent().resolve(artifactId + ".zip");
-        ZipUtil.pack(root.toFile(), zip.toFile());
-        return zip;
+        Path archive = root.getParent().resolve(artifactId + "." + format.getExtension());
+        return archiveWriter.write(root, archive, format, compressionLevel);
     }
 
     private void render(String template, Map<String, Object> ctx, Path target) throws IOException {
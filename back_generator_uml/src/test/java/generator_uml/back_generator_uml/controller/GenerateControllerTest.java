@@ -0,0 +1,104 @@
+package generator_uml.back_generator_uml.controller;
+
+import generator_uml.back_generator_uml.configuration.SecurityConfiguration;
+import generator_uml.back_generator_uml.service.ArchiveFormat;
+import generator_uml.back_generator_uml.service.ProjectGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(GenerateController.class)
+@Import(SecurityConfiguration.class)
+class GenerateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProjectGenerator projectGenerator;
+
+    @TempDir
+    Path tmp;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path archive = Files.write(tmp.resolve("archive"), new byte[]{1, 2, 3});
+        when(projectGenerator.generate(any(), anyString(), anyString(), any(), any())).thenReturn(archive);
+    }
+
+    private static MockHttpServletRequestBuilder generate() {
+        return post("/generate").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"classes\":[],\"relationships\":[]}");
+    }
+
+    @Test
+    void defaultsToZip() throws Exception {
+        mockMvc.perform(generate().accept("application/json, text/plain, */*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=generated-app.zip"))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+
+        verify(projectGenerator).generate(any(), eq("com.example.genapp"), eq("generated-app"), eq(ArchiveFormat.ZIP), isNull());
+    }
+
+    @Test
+    void keepsOctetStreamWhenClientAsksForIt() throws Exception {
+        mockMvc.perform(generate().accept(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    @Test
+    void formatParameterSelectsTarGz() throws Exception {
+        mockMvc.perform(generate().param("format", "TGZ").param("artifactId", "demo").param("compression", "0"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=demo.tar.gz"));
+
+        verify(projectGenerator).generate(any(), anyString(), eq("demo"), eq(ArchiveFormat.TAR_GZ), eq(0));
+    }
+
+    @Test
+    void acceptHeaderSelectsZstd() throws Exception {
+        mockMvc.perform(generate().header(HttpHeaders.ACCEPT, "application/zip;q=0.2, application/zstd"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zstd"));
+
+        verify(projectGenerator).generate(any(), anyString(), anyString(), eq(ArchiveFormat.TAR_ZST), isNull());
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(generate().param("format", "rar"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(projectGenerator);
+    }
+
+    @Test
+    void rejectsOutOfRangeCompression() throws Exception {
+        mockMvc.perform(generate().param("compression", "12"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(generate().param("compression", "-2"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(projectGenerator);
+    }
+}
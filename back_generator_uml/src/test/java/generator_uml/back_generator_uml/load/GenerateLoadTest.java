@@ -0,0 +1,405 @@
+package generator_uml.back_generator_uml.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.UnixOperatingSystemMXBean;
+import generator_uml.back_generator_uml.entity.UmlSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga / soak HTTP contra POST /generate.
+ * <p>
+ * No corre con {@code mvn test}; se ejecuta con el perfil {@code load-test}:
+ * <pre>
+ * mvn -P load-test test -Dload.concurrency=50,100,200 -Dload.soakSeconds=600
+ * </pre>
+ * Todos los umbrales se configuran con propiedades {@code load.*} (ver {@link Config});
+ * un umbral negativo solo reporta la métrica sin fallar.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GenerateLoadTest {
+
+    private static final Path TMP = Path.of(System.getProperty("java.io.tmpdir"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Config config = new Config();
+    private final AtomicLong maxGcPauseMs = new AtomicLong();
+    private final AtomicLong totalGcPauseMs = new AtomicLong();
+    private final AtomicInteger gcCount = new AtomicInteger();
+    private final NotificationListener gcListener = this::onGc;
+
+    private HttpClient client;
+    private List<byte[]> corpus;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        corpus = new ArrayList<>();
+        for (UmlSchema schema : SchemaCorpus.build(config.corpusSize, config.seed)) {
+            corpus.add(objectMapper.writeValueAsBytes(schema));
+        }
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.removeNotificationListener(gcListener);
+            }
+        }
+    }
+
+    @Test
+    void generateUnderConcurrentLoad() throws Exception {
+        // calentamiento: JIT, plantillas mustache, pool de conexiones
+        runPhase("warmup", 4, config.warmupRequests, 0);
+
+        Snapshot before = Snapshot.take();
+        gcCount.set(0);
+        totalGcPauseMs.set(0);
+        maxGcPauseMs.set(0);
+
+        List<PhaseResult> results = new ArrayList<>();
+        for (int clients : config.concurrency) {
+            results.add(runPhase("c" + clients, clients, clients * config.requestsPerClient, 0));
+        }
+        if (config.soakSeconds > 0) {
+            int clients = Arrays.stream(config.concurrency).max().orElse(50);
+            results.add(runPhase("soak", clients, Integer.MAX_VALUE, config.soakSeconds));
+        }
+
+        // cerrar las conexiones keep-alive para no contarlas como FDs filtrados
+        client.close();
+        Snapshot after = Snapshot.settle();
+        report(results, before, after);
+
+        List<String> failures = new ArrayList<>();
+        for (PhaseResult r : results) {
+            check(failures, r.name + " p99", r.percentile(99), config.maxP99Ms, "ms");
+            check(failures, r.name + " error rate", r.errorRate(), config.maxErrorRate, "");
+            if (config.minRps >= 0 && r.rps() < config.minRps) {
+                failures.add(String.format("%s RPS %.1f < %.1f", r.name, r.rps(), config.minRps));
+            }
+        }
+        check(failures, "heap growth", (after.heapUsed - before.heapUsed) / (1024.0 * 1024), config.maxHeapGrowthMb, "MB");
+        check(failures, "max GC pause", maxGcPauseMs.get(), config.maxGcPauseMs, "ms");
+        check(failures, "open FD growth", after.openFds - before.openFds, config.maxFdGrowth, "");
+        check(failures, "leaked gen-* dirs", after.genDirs - before.genDirs, config.maxLeakedDirs, "");
+        check(failures, "leaked zips", after.zipFiles - before.zipFiles, config.maxLeakedZips, "");
+        check(failures, "temp disk growth", (after.tmpBytes - before.tmpBytes) / (1024.0 * 1024), config.maxDiskGrowthMb, "MB");
+
+        assertTrue(failures.isEmpty(), "Regresiones de carga:\n  " + String.join("\n  ", failures));
+    }
+
+    private PhaseResult runPhase(String name, int clients, int totalRequests, int seconds) throws Exception {
+        PhaseResult result = new PhaseResult(name);
+        AtomicInteger next = new AtomicInteger();
+        long deadline = seconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds) : Long.MAX_VALUE;
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                workers.add(pool.submit(() -> {
+                    int n;
+                    while ((n = next.getAndIncrement()) < totalRequests && System.nanoTime() < deadline) {
+                        send(n, result);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> w : workers) {
+                w.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void send(int n, PhaseResult result) {
+        byte[] body = corpus.get(n % corpus.size());
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/generate" + artifactQuery(n, result.name)))
+                .timeout(Duration.ofSeconds(config.requestTimeoutSeconds))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        long t0 = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - t0;
+            if (response.statusCode() == 200 && isValidZip(response.body())) {
+                result.record(latency, response.body().length);
+            } else {
+                result.error();
+            }
+        } catch (IOException e) {
+            result.error();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.error();
+        }
+    }
+
+    /**
+     * El front no manda artifactId, así que en producción todas las peticiones comparten
+     * /tmp/generated-app.zip; "default" y "mixed" reproducen esa colisión, "unique" la evita.
+     */
+    private String artifactQuery(int n, String phase) {
+        return switch (config.artifactIdMode) {
+            case "unique" -> "?artifactId=load-" + phase + "-" + n;
+            case "default" -> "";
+            case "mixed" -> n % 2 == 0 ? "" : "?artifactId=load-" + phase + "-" + n;
+            default -> throw new IllegalArgumentException("load.artifactId inválido: " + config.artifactIdMode);
+        };
+    }
+
+    private static boolean isValidZip(byte[] bytes) {
+        try (ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            int entries = 0;
+            while (zin.getNextEntry() != null) {
+                entries++;
+            }
+            return entries > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void onGc(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        // los System.gc() de Snapshot.take() no son pausas causadas por /generate
+        if ("System.gc()".equals(info.getGcCause())) {
+            return;
+        }
+        long duration = info.getGcInfo().getDuration();
+        gcCount.incrementAndGet();
+        totalGcPauseMs.addAndGet(duration);
+        maxGcPauseMs.accumulateAndGet(duration, Math::max);
+    }
+
+    private void report(List<PhaseResult> results, Snapshot before, Snapshot after) {
+        StringBuilder sb = new StringBuilder("\n==== /generate load report ====\n");
+        sb.append("artifactId mode: ").append(config.artifactIdMode).append('\n');
+        sb.append(String.format("%-8s %8s %7s %9s %9s %9s %9s %9s %10s%n",
+                "phase", "requests", "errors", "rps", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "avg KB"));
+        for (PhaseResult r : results) {
+            sb.append(String.format("%-8s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %10.1f%n",
+                    r.name, r.count(), r.errors.get(), r.rps(),
+                    r.percentile(50), r.percentile(90), r.percentile(99), r.percentile(100),
+                    r.count() == 0 ? 0.0 : r.bytes.get() / 1024.0 / r.count()));
+        }
+        sb.append(String.format("GC: %d collections, total %d ms, max pause %d ms%n",
+                gcCount.get(), totalGcPauseMs.get(), maxGcPauseMs.get()));
+        sb.append(String.format("heap used after GC: %.1f MB -> %.1f MB%n",
+                before.heapUsed / (1024.0 * 1024), after.heapUsed / (1024.0 * 1024)));
+        sb.append(String.format("open FDs: %d -> %d%n", before.openFds, after.openFds));
+        sb.append(String.format("tmp gen-* dirs: %d -> %d, zips: %d -> %d, bytes: %.1f MB -> %.1f MB%n",
+                before.genDirs, after.genDirs, before.zipFiles, after.zipFiles,
+                before.tmpBytes / (1024.0 * 1024), after.tmpBytes / (1024.0 * 1024)));
+        System.out.println(sb);
+    }
+
+    private static void check(List<String> failures, String metric, double value, double limit, String unit) {
+        if (limit >= 0 && value > limit) {
+            failures.add(String.format("%s %.1f%s > %.1f%s", metric, value, unit, limit, unit));
+        }
+    }
+
+    // ====== RESULTADOS POR FASE ======
+    private static final class PhaseResult {
+        final String name;
+        final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        long elapsedNanos;
+
+        PhaseResult(String name) {
+            this.name = name;
+        }
+
+        void record(long latencyNanos, int size) {
+            latencies.add(latencyNanos);
+            bytes.addAndGet(size);
+        }
+
+        void error() {
+            errors.incrementAndGet();
+        }
+
+        int count() {
+            return latencies.size();
+        }
+
+        double rps() {
+            return elapsedNanos == 0 ? 0 : count() / (elapsedNanos / 1e9);
+        }
+
+        double errorRate() {
+            int total = count() + errors.get();
+            return total == 0 ? 0 : (double) errors.get() / total;
+        }
+
+        double percentile(double p) {
+            List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            if (sorted.isEmpty()) return 0;
+            Collections.sort(sorted);
+            int idx = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1))) / 1e6;
+        }
+    }
+
+    // ====== ESTADO DEL PROCESO / DISCO ======
+    private record Snapshot(long heapUsed, long openFds, long genDirs, long zipFiles, long tmpBytes) {
+
+        static Snapshot take() throws IOException {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            long heap = memory.getHeapMemoryUsage().getUsed();
+
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            long fds = os instanceof UnixOperatingSystemMXBean unix ? unix.getOpenFileDescriptorCount() : -1;
+
+            long dirs = 0;
+            long zips = 0;
+            long bytes = 0;
+            try (Stream<Path> entries = Files.list(TMP)) {
+                for (Path p : (Iterable<Path>) entries::iterator) {
+                    String name = p.getFileName().toString();
+                    if (name.startsWith("gen-") && Files.isDirectory(p)) {
+                        dirs++;
+                        bytes += sizeOf(p);
+                    } else if (name.endsWith(".zip") && Files.isRegularFile(p)) {
+                        zips++;
+                        bytes += Files.size(p);
+                    }
+                }
+            }
+            return new Snapshot(heap, fds, dirs, zips, bytes);
+        }
+
+        /** Espera a que Tomcat cierre los sockets del lado servidor antes de medir. */
+        static Snapshot settle() throws IOException, InterruptedException {
+            Snapshot last = take();
+            for (int i = 0; i < 20; i++) {
+                Thread.sleep(250);
+                Snapshot next = take();
+                if (next.openFds >= last.openFds) return next;
+                last = next;
+            }
+            return last;
+        }
+
+        private static long sizeOf(Path dir) {
+            try (Stream<Path> walk = Files.walk(dir)) {
+                return walk.filter(Files::isRegularFile).mapToLong(p -> {
+                    try {
+                        return Files.size(p);
+                    } catch (IOException e) {
+                        return 0;
+                    }
+                }).sum();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+    }
+
+    // ====== CONFIGURACIÓN (propiedades -Dload.*) ======
+    private static final class Config {
+        final int[] concurrency = Arrays.stream(System.getProperty("load.concurrency", "50,100,200").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        final int requestsPerClient = Integer.getInteger("load.requestsPerClient", 5);
+        final int warmupRequests = Integer.getInteger("load.warmupRequests", 40);
+        final int soakSeconds = Integer.getInteger("load.soakSeconds", 0);
+        final int corpusSize = Integer.getInteger("load.corpusSize", 50);
+        final long seed = Long.getLong("load.seed", 42L);
+        final int requestTimeoutSeconds = Integer.getInteger("load.requestTimeoutSeconds", 60);
+        // unique | default | mixed
+        final String artifactIdMode = System.getProperty("load.artifactId", "mixed");
+
+        final double maxP99Ms = doubleProp("load.maxP99Ms", 5000);
+        final double minRps = doubleProp("load.minRps", 5);
+        final double maxErrorRate = doubleProp("load.maxErrorRate", 0);
+        final double maxHeapGrowthMb = doubleProp("load.maxHeapGrowthMb", 128);
+        final double maxGcPauseMs = doubleProp("load.maxGcPauseMs", 500);
+        final double maxFdGrowth = doubleProp("load.maxFdGrowth", 64);
+        // los gen-* y .zip hoy no se limpian; por defecto solo se reportan.
+        // Se cuentan todos los del tmpdir, así que con artifactId por defecto el zip reescrito no suma.
+        final double maxLeakedDirs = doubleProp("load.maxLeakedDirs", -1);
+        final double maxLeakedZips = doubleProp("load.maxLeakedZips", -1);
+        final double maxDiskGrowthMb = doubleProp("load.maxDiskGrowthMb", -1);
+
+        private static double doubleProp(String key, double def) {
+            String v = System.getProperty(key);
+            return v == null ? def : Double.parseDouble(v);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package generator_uml.back_generator_uml.load;
+
+import generator_uml.back_generator_uml.entity.UmlAttribute;
+import generator_uml.back_generator_uml.entity.UmlClass;
+import generator_uml.back_generator_uml.entity.UmlMethod;
+import generator_uml.back_generator_uml.entity.UmlRelationship;
+import generator_uml.back_generator_uml.entity.UmlSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Corpus de diagramas sintéticos para las pruebas de carga.
+ * Mezcla tamaños pequeños, medianos y grandes con todos los tipos de relación
+ * que entiende ProjectGenerator. La semilla es fija para que las corridas sean comparables.
+ */
+final class SchemaCorpus {
+
+    private static final String[] TYPES = {"int", "long", "string", "boolean", "double", "float"};
+    private static final String[] REL_TYPES = {"association", "aggregation", "composition", "dependency"};
+    private static final String[][] CARDINALITIES = {{"1", "*"}, {"*", "1"}, {"1", "1"}, {"*", "*"}, {"", ""}};
+
+    // proporción small/medium/large: 60% / 30% / 10%
+    private static final int[] SIZES = {3, 3, 3, 3, 3, 3, 15, 15, 15, 60};
+
+    private SchemaCorpus() {
+    }
+
+    static List<UmlSchema> build(int count, long seed) {
+        Random random = new Random(seed);
+        List<UmlSchema> corpus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            corpus.add(schema(SIZES[i % SIZES.length], random));
+        }
+        return corpus;
+    }
+
+    private static UmlSchema schema(int classCount, Random random) {
+        List<UmlClass> classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            UmlClass c = new UmlClass();
+            c.setId("c" + i);
+            c.setName("Clase" + i);
+
+            List<UmlAttribute> attrs = new ArrayList<>();
+            // primer atributo: PK numérica o String
+            attrs.add(attribute("id" + i, random.nextBoolean() ? "int" : "string"));
+            int extra = 2 + random.nextInt(8);
+            for (int a = 0; a < extra; a++) {
+                attrs.add(attribute("campo" + a, TYPES[random.nextInt(TYPES.length)]));
+            }
+            c.setAttributes(attrs);
+
+            List<UmlMethod> methods = new ArrayList<>();
+            int methodCount = random.nextInt(3);
+            for (int m = 0; m < methodCount; m++) {
+                UmlMethod method = new UmlMethod();
+                method.setName("operacion" + m);
+                method.setParameters("valor:int, nombre:string");
+                method.setReturnType(TYPES[random.nextInt(TYPES.length)]);
+                methods.add(method);
+            }
+            c.setMethods(methods);
+            classes.add(c);
+        }
+
+        List<UmlRelationship> relationships = new ArrayList<>();
+        for (int i = 1; i < classCount; i++) {
+            UmlRelationship rel = new UmlRelationship();
+            rel.setId("r" + i);
+            rel.setSourceId("c" + i);
+            rel.setTargetId("c" + random.nextInt(i));
+            // algunas generalizaciones para ejercitar la herencia
+            if (random.nextInt(10) == 0) {
+                rel.setType("generalization");
+                rel.setLabels(new ArrayList<>());
+            } else {
+                String[] card = CARDINALITIES[random.nextInt(CARDINALITIES.length)];
+                rel.setType(REL_TYPES[random.nextInt(REL_TYPES.length)]);
+                rel.setLabels(new ArrayList<>(List.of(card[0], card[1])));
+            }
+            relationships.add(rel);
+        }
+
+        UmlSchema schema = new UmlSchema();
+        schema.setClasses(classes);
+        schema.setRelationships(relationships);
+        return schema;
+    }
+
+    private static UmlAttribute attribute(String name, String type) {
+        UmlAttribute a = new UmlAttribute();
+        a.setName(name);
+        a.setType(type);
+        return a;
+    }
+}
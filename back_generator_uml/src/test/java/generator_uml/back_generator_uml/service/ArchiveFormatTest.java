@@ -0,0 +1,49 @@
+package generator_uml.back_generator_uml.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArchiveFormatTest {
+
+    @Test
+    void fromNameAcceptsAliasesIgnoringCase() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertEquals(Optional.of(ArchiveFormat.TAR_GZ), ArchiveFormat.fromName("TGZ"));
+            assertEquals(Optional.of(ArchiveFormat.ZIP), ArchiveFormat.fromName(" ZIP "));
+            assertEquals(Optional.of(ArchiveFormat.TAR_ZST), ArchiveFormat.fromName("tar.zst"));
+            assertEquals(Optional.empty(), ArchiveFormat.fromName("rar"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void fromAcceptDefaultsToZip() {
+        assertEquals(ArchiveFormat.ZIP, ArchiveFormat.fromAccept(null));
+        assertEquals(ArchiveFormat.ZIP, ArchiveFormat.fromAccept("application/json, text/plain, */*"));
+        assertEquals(ArchiveFormat.ZIP, ArchiveFormat.fromAccept("application/*"));
+    }
+
+    @Test
+    void fromAcceptRespectsQuality() {
+        assertEquals(ArchiveFormat.TAR_GZ, ArchiveFormat.fromAccept("application/zip;q=0.1, application/gzip"));
+        assertEquals(ArchiveFormat.TAR_ZST, ArchiveFormat.fromAccept("application/gzip;q=0.5, application/zstd;q=0.8"));
+        assertEquals(ArchiveFormat.ZIP, ArchiveFormat.fromAccept("application/zstd;q=0"));
+    }
+
+    @Test
+    void contentTypeKeepsOctetStreamWhenPreferred() {
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, ArchiveFormat.ZIP.contentTypeFor("application/octet-stream"));
+        assertEquals(MediaType.parseMediaType("application/zip"),
+                ArchiveFormat.ZIP.contentTypeFor("application/octet-stream;q=0.5, application/zip"));
+        assertEquals(MediaType.parseMediaType("application/zip"), ArchiveFormat.ZIP.contentTypeFor("*/*"));
+        assertEquals(MediaType.parseMediaType("application/gzip"), ArchiveFormat.TAR_GZ.contentTypeFor(null));
+    }
+}
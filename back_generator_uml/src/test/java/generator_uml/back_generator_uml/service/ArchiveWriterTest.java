@@ -0,0 +1,237 @@
+package generator_uml.back_generator_uml.service;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveWriterTest {
+
+    private static final long PARALLEL = 0;
+    private static final long SEQUENTIAL = Long.MAX_VALUE;
+
+    @TempDir
+    Path tmp;
+
+    private Path root;
+    private final List<ArchiveWriter> writers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createDirectories(tmp.resolve("project"));
+        Path pkg = Files.createDirectories(root.resolve("src/main/java/com/example/genapp/model"));
+        Files.createDirectories(root.resolve("src/main/resources"));
+        Files.writeString(root.resolve("pom.xml"), "<project></project>\n");
+        Files.writeString(root.resolve("src/main/resources/application.properties"), "server.port=9000\n");
+        for (int i = 0; i < 20; i++) {
+            Files.writeString(pkg.resolve("Clase" + i + ".java"),
+                    ("package com.example.genapp.model;\n// campo " + i + "\n").repeat(50 + i * 20));
+        }
+        // directorio vacío: también debe viajar en el archivo
+        Files.createDirectories(root.resolve("src/test/java"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writers.forEach(ArchiveWriter::shutdown);
+    }
+
+    private ArchiveWriter writer(int level, int threads, long parallelThreshold) {
+        ArchiveWriter writer = new ArchiveWriter(level, threads, parallelThreshold);
+        writers.add(writer);
+        return writer;
+    }
+
+    @Test
+    void zipRoundTripsTheTree() throws IOException {
+        Path zip = writer(-1, 4, PARALLEL).write(root, tmp.resolve("out.zip"), ArchiveFormat.ZIP, null);
+
+        Map<String, byte[]> read = new TreeMap<>();
+        try (ZipFile zf = new ZipFile(zip.toFile())) {
+            for (ZipEntry e : Collections.list(zf.entries())) {
+                assertEquals(LocalDateTime.of(1980, 1, 1, 0, 0),
+                        LocalDateTime.ofInstant(e.getLastModifiedTime().toInstant(), ZoneId.systemDefault()));
+                try (InputStream in = zf.getInputStream(e)) {
+                    read.put(e.getName(), in.readAllBytes());
+                }
+            }
+        }
+        assertTreeEquals(read);
+    }
+
+    @Test
+    void zipIsByteIdenticalAcrossWritesAndThreadCounts() throws IOException {
+        Path a = writer(-1, 4, PARALLEL).write(root, tmp.resolve("a.zip"), ArchiveFormat.ZIP, null);
+        Path b = writer(-1, 4, PARALLEL).write(root, tmp.resolve("b.zip"), ArchiveFormat.ZIP, null);
+        Path c = writer(-1, 1, PARALLEL).write(root, tmp.resolve("c.zip"), ArchiveFormat.ZIP, null);
+
+        assertEquals(-1, Files.mismatch(a, b));
+        assertEquals(-1, Files.mismatch(a, c));
+    }
+
+    @Test
+    void sequentialAndParallelZipAreByteIdentical() throws IOException {
+        for (int level : new int[]{-1, ArchiveWriter.STORED, 9}) {
+            Path seq = writer(-1, 4, SEQUENTIAL).write(root, tmp.resolve("seq.zip"), ArchiveFormat.ZIP, level);
+            Path par = writer(-1, 4, PARALLEL).write(root, tmp.resolve("par.zip"), ArchiveFormat.ZIP, level);
+
+            assertEquals(-1, Files.mismatch(seq, par), "level " + level);
+        }
+    }
+
+    @Test
+    void concurrentWritesShareThePool() throws Exception {
+        ArchiveWriter writer = writer(-1, 2, PARALLEL);
+        Path expected = writer(-1, 1, SEQUENTIAL).write(root, tmp.resolve("expected.zip"), ArchiveFormat.ZIP, null);
+
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Path>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                Path target = tmp.resolve("concurrent-" + i + ".zip");
+                results.add(requests.submit(() -> writer.write(root, target, ArchiveFormat.ZIP, null)));
+            }
+            for (Future<Path> f : results) {
+                assertEquals(-1, Files.mismatch(expected, f.get()));
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    void storedLevelWritesUncompressedEntries() throws IOException {
+        Path zip = writer(-1, 4, PARALLEL).write(root, tmp.resolve("stored.zip"), ArchiveFormat.ZIP, ArchiveWriter.STORED);
+
+        try (ZipFile zf = new ZipFile(zip.toFile())) {
+            for (ZipEntry e : Collections.list(zf.entries())) {
+                assertEquals(ZipEntry.STORED, e.getMethod(), e.getName());
+                if (e.isDirectory()) continue;
+                byte[] expected = Files.readAllBytes(root.resolve(e.getName()));
+                CRC32 crc = new CRC32();
+                crc.update(expected);
+                assertEquals(crc.getValue(), e.getCrc(), e.getName());
+                assertEquals(expected.length, e.getSize(), e.getName());
+                assertEquals(expected.length, e.getCompressedSize(), e.getName());
+            }
+        }
+    }
+
+    @Test
+    void compressedLevelDeflatesFiles() throws IOException {
+        Path zip = writer(-1, 4, PARALLEL).write(root, tmp.resolve("best.zip"), ArchiveFormat.ZIP, 9);
+
+        try (ZipFile zf = new ZipFile(zip.toFile())) {
+            ZipEntry e = zf.getEntry("src/main/java/com/example/genapp/model/Clase19.java");
+            assertEquals(ZipEntry.DEFLATED, e.getMethod());
+            assertTrue(e.getCompressedSize() < e.getSize());
+        }
+    }
+
+    @Test
+    void tarGzRoundTripsAndIsDeterministic() throws IOException {
+        ArchiveWriter writer = writer(6, 4, PARALLEL);
+        Path a = writer.write(root, tmp.resolve("a.tar.gz"), ArchiveFormat.TAR_GZ, null);
+        Path b = writer.write(root, tmp.resolve("b.tar.gz"), ArchiveFormat.TAR_GZ, null);
+
+        assertEquals(-1, Files.mismatch(a, b));
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(
+                new GzipCompressorInputStream(Files.newInputStream(a)))) {
+            assertTreeEquals(readTar(tar));
+        }
+    }
+
+    @Test
+    void tarZstRoundTripsAndIsDeterministic() throws IOException {
+        Path a = writer(-1, 4, PARALLEL).write(root, tmp.resolve("a.tar.zst"), ArchiveFormat.TAR_ZST, null);
+        Path b = writer(-1, 2, PARALLEL).write(root, tmp.resolve("b.tar.zst"), ArchiveFormat.TAR_ZST, null);
+        Path c = writer(-1, 4, SEQUENTIAL).write(root, tmp.resolve("c.tar.zst"), ArchiveFormat.TAR_ZST, null);
+        Path d = writer(-1, 4, SEQUENTIAL).write(root, tmp.resolve("d.tar.zst"), ArchiveFormat.TAR_ZST, null);
+
+        assertEquals(-1, Files.mismatch(a, b));
+        assertEquals(-1, Files.mismatch(c, d));
+        for (Path p : List.of(a, c)) {
+            try (TarArchiveInputStream tar = new TarArchiveInputStream(
+                    new ZstdCompressorInputStream(Files.newInputStream(p)))) {
+                assertTreeEquals(readTar(tar));
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidLevel() {
+        assertThrows(IllegalArgumentException.class, () -> new ArchiveWriter(10, 1, PARALLEL));
+        assertThrows(IllegalArgumentException.class,
+                () -> writer(-1, 1, PARALLEL).write(root, tmp.resolve("x.zip"), ArchiveFormat.ZIP, -2));
+        assertFalse(Files.exists(tmp.resolve("x.zip")));
+    }
+
+    @Test
+    void failedWriteLeavesNoPartialFile() throws IOException {
+        // un enlace roto hace fallar el empaquetado, en cualquiera de los dos caminos
+        Files.createSymbolicLink(root.resolve("roto.txt"), tmp.resolve("no-existe"));
+
+        for (long threshold : new long[]{PARALLEL, SEQUENTIAL}) {
+            for (ArchiveFormat format : ArchiveFormat.values()) {
+                Path target = tmp.resolve("out." + format.getExtension());
+                assertThrows(IOException.class, () -> writer(-1, 2, threshold).write(root, target, format, null));
+                assertFalse(Files.exists(target), format.name());
+            }
+        }
+    }
+
+    private static Map<String, byte[]> readTar(TarArchiveInputStream tar) throws IOException {
+        Map<String, byte[]> read = new TreeMap<>();
+        TarArchiveEntry e;
+        while ((e = tar.getNextEntry()) != null) {
+            assertEquals(315532800000L, e.getModTime().getTime());
+            assertEquals(0, e.getLongUserId());
+            assertEquals("", e.getUserName());
+            read.put(e.getName(), tar.readAllBytes());
+        }
+        return read;
+    }
+
+    private void assertTreeEquals(Map<String, byte[]> read) throws IOException {
+        Map<String, byte[]> expected = new TreeMap<>();
+        try (var walk = Files.walk(root)) {
+            for (Path p : (Iterable<Path>) walk::iterator) {
+                if (p.equals(root)) continue;
+                String name = root.relativize(p).toString().replace('\\', '/');
+                expected.put(Files.isDirectory(p) ? name + "/" : name,
+                        Files.isDirectory(p) ? new byte[0] : Files.readAllBytes(p));
+            }
+        }
+        assertEquals(expected.keySet(), read.keySet());
+        for (var e : expected.entrySet()) {
+            assertArrayEquals(e.getValue(), read.get(e.getKey()), e.getKey());
+        }
+        assertTrue(read.containsKey("src/test/java/"));
+        assertEquals("<project></project>\n", new String(read.get("pom.xml"), StandardCharsets.UTF_8));
+    }
+}